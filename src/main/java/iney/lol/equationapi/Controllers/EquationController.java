@@ -1,12 +1,18 @@
 package iney.lol.equationapi.Controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import iney.lol.equationapi.utils.EquationParser;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.function.DoubleUnaryOperator;
 
@@ -14,6 +20,12 @@ import java.util.function.DoubleUnaryOperator;
 @RequestMapping("/api/equation")
 public class EquationController {
 
+    private final ObjectMapper objectMapper;
+
+    public EquationController(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
     @Data
     @AllArgsConstructor
     public static class SolutionResult {
@@ -65,6 +77,156 @@ public class EquationController {
         return result;
     }
 
+    // Одно окно потокового отделения корней (одна строка NDJSON)
+    @Data
+    public static class RootSeparationWindow {
+        private long cursor;
+        private Long nextCursor;
+        private List<double[]> intervals;
+        private double[] xPoints;
+        private double[] yPoints;
+    }
+
+    // Последняя строка потока, если вычисление прервалось ошибкой
+    @Data
+    @AllArgsConstructor
+    public static class RootSeparationError {
+        private long cursor;
+        private String error;
+    }
+
+    private static final int MAX_WINDOW_SIZE = 10_000;
+    private static final int MAX_WINDOWS_PER_REQUEST = 100;
+
+    // Задание 1 (потоковый режим): отделение корней окнами фиксированного размера.
+    // Каждое окно отправляется клиенту сразу после вычисления строкой NDJSON,
+    // nextCursor позволяет запросить следующие окна отдельным запросом.
+    // Окно с nextCursor = null (в том числе пустое, если cursor за пределами
+    // диапазона) означает конец диапазона. Если вычисление прервалось, последней
+    // строкой идёт RootSeparationError с курсором точки, на которой произошла ошибка;
+    // чтобы пропустить эту точку, клиент продолжает с cursor + 1.
+    @GetMapping(value = "/task1/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamRootSeparation(
+            @RequestParam String equation,
+            @RequestParam double start,
+            @RequestParam double end,
+            @RequestParam double step,
+            @RequestParam(defaultValue = "1000") int windowSize,
+            @RequestParam(defaultValue = "0") long cursor,
+            @RequestParam(required = false) Integer maxWindows) {
+
+        if (!Double.isFinite(start) || !Double.isFinite(end) || !Double.isFinite(step)) {
+            throw new IllegalArgumentException("Границы и шаг должны быть конечными числами");
+        }
+        if (step <= 0) {
+            throw new IllegalArgumentException("Шаг должен быть положительным");
+        }
+        if (windowSize <= 0 || windowSize > MAX_WINDOW_SIZE) {
+            throw new IllegalArgumentException(
+                    "Размер окна должен быть от 1 до " + MAX_WINDOW_SIZE);
+        }
+        if (cursor < 0) {
+            throw new IllegalArgumentException("Курсор не может быть отрицательным");
+        }
+        if (maxWindows != null && (maxWindows <= 0 || maxWindows > MAX_WINDOWS_PER_REQUEST)) {
+            throw new IllegalArgumentException(
+                    "Количество окон должно быть от 1 до " + MAX_WINDOWS_PER_REQUEST);
+        }
+
+        // Точки считаются по индексу, чтобы курсор однозначно указывал на x
+        long totalPoints = 0;
+        if (start <= end) {
+            double steps = Math.floor((end - start) / step);
+            if (!Double.isFinite(steps) || steps >= Long.MAX_VALUE - 1) {
+                throw new IllegalArgumentException("Слишком много точек для заданного шага");
+            }
+            totalPoints = (long) steps + 1;
+        }
+        int windowLimit = maxWindows == null ? MAX_WINDOWS_PER_REQUEST : maxWindows;
+
+        // Проверяем уравнение до начала ответа, чтобы ошибка вернулась как у /task1
+        if (cursor < totalPoints) {
+            evaluate(equation, start + cursor * step);
+        }
+
+        // Предыдущая точка нужна для смены знака на границе окон.
+        // Если в ней функция не вычисляется (например, полюс), интервал через неё не ищем.
+        double seedX = Double.NaN;
+        double seedY = Double.NaN;
+        if (cursor > 0 && cursor <= totalPoints) {
+            seedX = start + (cursor - 1) * step;
+            try {
+                seedY = evaluate(equation, seedX);
+            } catch (RuntimeException e) {
+                seedY = Double.NaN;
+            }
+        }
+
+        long lastIndex = totalPoints;
+        double firstX = seedX;
+        double firstY = seedY;
+        StreamingResponseBody body = out -> {
+            long index = cursor;
+            int windows = 0;
+            double prevX = firstX;
+            double prevY = firstY;
+
+            do {
+                int size = (int) Math.max(0, Math.min(windowSize, lastIndex - index));
+                double[] xPoints = new double[size];
+                double[] yPoints = new double[size];
+                List<double[]> intervals = new ArrayList<>();
+                RuntimeException failure = null;
+
+                int count = 0;
+                while (count < size) {
+                    double x = start + (index + count) * step;
+                    double y;
+                    try {
+                        y = evaluate(equation, x);
+                    } catch (RuntimeException e) {
+                        failure = e;
+                        break;
+                    }
+                    xPoints[count] = x;
+                    yPoints[count] = y;
+                    count++;
+
+                    if (!Double.isNaN(prevY) && prevY * y <= 0) {
+                        intervals.add(new double[]{prevX, x});
+                    }
+                    prevX = x;
+                    prevY = y;
+                }
+
+                RootSeparationWindow window = new RootSeparationWindow();
+                window.setCursor(index);
+                index += count;
+                windows++;
+                window.setNextCursor(index < lastIndex ? index : null);
+                window.setIntervals(intervals);
+                window.setXPoints(count < size ? Arrays.copyOf(xPoints, count) : xPoints);
+                window.setYPoints(count < size ? Arrays.copyOf(yPoints, count) : yPoints);
+                writeLine(out, window);
+
+                if (failure != null) {
+                    writeLine(out, new RootSeparationError(index, failure.getMessage()));
+                    return;
+                }
+            } while (index < lastIndex && windows < windowLimit);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+
     // Задание 2: Метод половинного деления
     @GetMapping("/task2")
     public SolutionResult bisectionMethod(
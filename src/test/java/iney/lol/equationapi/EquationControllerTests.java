@@ -0,0 +1,148 @@
+package iney.lol.equationapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EquationControllerTests {
+
+    private static final String EQUATION = "x-0.75";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamFindsRootAcrossWindowBoundary() throws Exception {
+        List<JsonNode> lines = stream("&windowSize=2");
+
+        assertEquals(2, lines.size());
+        assertEquals(0, lines.get(0).get("cursor").asLong());
+        assertEquals(2, lines.get(0).get("nextCursor").asLong());
+        assertEquals(0, lines.get(0).get("intervals").size());
+
+        assertEquals(2, lines.get(1).get("cursor").asLong());
+        assertTrue(lines.get(1).get("nextCursor").isNull());
+        assertEquals("[[0.5,1.0]]", lines.get(1).get("intervals").toString());
+    }
+
+    @Test
+    void resumedStreamMatchesTask1Intervals() throws Exception {
+        List<JsonNode> first = stream("&windowSize=2&cursor=0&maxWindows=1");
+        assertEquals(1, first.size());
+        long next = first.get(0).get("nextCursor").asLong();
+        assertEquals(2, next);
+
+        List<JsonNode> second = stream("&windowSize=2&cursor=" + next + "&maxWindows=1");
+        assertEquals(1, second.size());
+        assertTrue(second.get(0).get("nextCursor").isNull());
+
+        List<String> streamed = new ArrayList<>();
+        for (JsonNode line : List.of(first.get(0), second.get(0))) {
+            line.get("intervals").forEach(interval -> streamed.add(interval.toString()));
+        }
+        assertEquals(List.of("[0.5,1.0]"), streamed);
+
+        String body = mockMvc.perform(get("/api/equation/task1")
+                        .param("equation", EQUATION)
+                        .param("start", "0")
+                        .param("end", "1.5")
+                        .param("step", "0.5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> expected = new ArrayList<>();
+        objectMapper.readTree(body).get("intervals")
+                .forEach(interval -> expected.add(interval.toString()));
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    void streamRejectsBadEquationBeforeResponse() {
+        assertThrows(ServletException.class, () -> mockMvc.perform(
+                get("/api/equation/task1/stream?equation=1/x&start=0&end=1&step=0.5")));
+    }
+
+    @Test
+    void streamEndsWithErrorLineAtPole() throws Exception {
+        MvcResult result = mockMvc.perform(
+                        get("/api/equation/task1/stream?equation=1/x&start=-1&end=1&step=1&windowSize=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<JsonNode> lines = readLines(result);
+
+        assertEquals(2, lines.size());
+        assertEquals(1, lines.get(0).get("xpoints").size());
+        assertEquals(1, lines.get(0).get("nextCursor").asLong());
+        assertEquals(1, lines.get(1).get("cursor").asLong());
+        assertEquals("Деление на ноль", lines.get(1).get("error").asText());
+    }
+
+    @Test
+    void streamResumesPastPole() throws Exception {
+        MvcResult result = mockMvc.perform(
+                        get("/api/equation/task1/stream?equation=1/x&start=-1&end=2&step=1&windowSize=2&cursor=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<JsonNode> lines = readLines(result);
+
+        assertEquals(1, lines.size());
+        assertEquals(2, lines.get(0).get("cursor").asLong());
+        assertTrue(lines.get(0).get("nextCursor").isNull());
+        assertEquals("[1.0,2.0]", lines.get(0).get("xpoints").toString());
+        assertEquals(0, lines.get(0).get("intervals").size());
+    }
+
+    @Test
+    void streamPastEndReturnsEmptyWindow() throws Exception {
+        MvcResult result = mockMvc.perform(
+                        get("/api/equation/task1/stream?equation=1/x&start=-1&end=0&step=1&cursor=2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<JsonNode> lines = readLines(result);
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).get("nextCursor").isNull());
+        assertEquals(0, lines.get(0).get("xpoints").size());
+    }
+
+    private List<JsonNode> stream(String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/equation/task1/stream?equation=" + EQUATION
+                        + "&start=0&end=1.5&step=0.5" + query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return readLines(result);
+    }
+
+    private List<JsonNode> readLines(MvcResult result) throws Exception {
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+}